@@ -0,0 +1,236 @@
+import java.util.*;
+
+/**
+ * BFS bit-parallel untuk query tanpa bobot (reachability dan jarak hop).
+ * Frontier dan visited disimpan sebagai bitset long[] per baris (bit c = kolom c), dinding
+ * di-pack menjadi mask "terbuka" per arah. Satu langkah BFS memperluas seluruh wavefront
+ * sekaligus dengan shift dan AND, 64 sel per operasi. Hanya baris yang frontier-nya tidak
+ * kosong yang diproses, karena wavefront di maze biasanya tipis.
+ */
+public class BitboardBfs {
+    private final Cell[][] grid;
+    private final int rows, cols;
+    private final int words; // long per baris
+
+    // Bit c di baris r = sel (r, c) bisa bergerak ke arah tersebut
+    private final long[] openUp, openRight, openDown, openLeft;
+
+    private long[] frontier, next, visited;
+    private int[] activeRows, nextRows;
+    private int activeCount, nextCount;
+    private int[] rowStamp;
+    private int stamp;
+
+    public BitboardBfs(Cell[][] grid, int rows, int cols) {
+        this.grid = grid; this.rows = rows; this.cols = cols;
+        this.words = (cols + 63) >>> 6;
+        int size = rows * words;
+        openUp = new long[size]; openRight = new long[size];
+        openDown = new long[size]; openLeft = new long[size];
+        frontier = new long[size]; next = new long[size]; visited = new long[size];
+        activeRows = new int[rows]; nextRows = new int[rows];
+        rowStamp = new int[rows];
+        pack();
+    }
+
+    public void pack() {
+        for (int r = 0; r < rows; r++) for (int c = 0; c < cols; c++) packCell(r, c);
+    }
+
+    /**
+     * Panggil setelah dinding sebuah sel berubah. Dinding dipakai bersama dua sel, jadi
+     * keempat tetangga ikut di-pack ulang; cukup satu panggilan untuk salah satu sel.
+     */
+    public void onCellChanged(Cell cell) {
+        int r = cell.getRow(), c = cell.getCol();
+        packCell(r, c);
+        if (r > 0) packCell(r - 1, c);
+        if (c < cols - 1) packCell(r, c + 1);
+        if (r < rows - 1) packCell(r + 1, c);
+        if (c > 0) packCell(r, c - 1);
+    }
+
+    /** True bila mask dinding sama persis dengan milik other (dipakai BitboardBfsBenchmark). */
+    public boolean samePacking(BitboardBfs other) {
+        return Arrays.equals(openUp, other.openUp) && Arrays.equals(openRight, other.openRight)
+                && Arrays.equals(openDown, other.openDown) && Arrays.equals(openLeft, other.openLeft);
+    }
+
+    private void packCell(int r, int c) {
+        Cell cell = grid[r][c];
+        int i = r * words + (c >>> 6);
+        long bit = 1L << c;
+        set(openUp, i, bit, !cell.hasTopWall() && r > 0);
+        set(openRight, i, bit, !cell.hasRightWall() && c < cols - 1);
+        set(openDown, i, bit, !cell.hasBottomWall() && r < rows - 1);
+        set(openLeft, i, bit, !cell.hasLeftWall() && c > 0);
+    }
+
+    private static void set(long[] mask, int i, long bit, boolean open) {
+        if (open) mask[i] |= bit; else mask[i] &= ~bit;
+    }
+
+    // ==================== QUERIES ====================
+
+    /** True bila semua target bisa dicapai dari start. Berhenti begitu target terakhir tercapai. */
+    public boolean allReachable(Cell start, List<Cell> targets) {
+        begin(index(start));
+        int remaining = countUnvisited(targets);
+        while (remaining > 0 && activeCount > 0) {
+            step();
+            remaining = countUnvisited(targets);
+        }
+        return remaining == 0;
+    }
+
+    /** Jarak hop dari start ke setiap sel (index row * cols + col), -1 bila tidak tercapai. */
+    public int[] hopDistances(Cell start) {
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        begin(index(start));
+        dist[index(start)] = 0;
+        for (int level = 1; activeCount > 0; level++) {
+            step();
+            recordLevel(dist, level, null);
+        }
+        return dist;
+    }
+
+    /**
+     * BFS ke target terdekat (jumlah langkah). Sel dicatat ke trace per level;
+     * parent dipulihkan dengan sapuan mundur dari target lewat level yang tercatat.
+     */
+    public Maze.MazeSolver.SolveResult solve(Cell start, List<Cell> targets) {
+        ExplorationTrace trace = new ExplorationTrace(rows, cols);
+        int[] dist = new int[rows * cols];
+        Arrays.fill(dist, -1);
+        begin(index(start));
+        dist[index(start)] = 0;
+        trace.append(start);
+
+        Cell reached = firstVisited(targets);
+        for (int level = 1; reached == null && activeCount > 0; level++) {
+            step();
+            recordLevel(dist, level, trace);
+            reached = firstVisited(targets);
+        }
+        if (reached == null) return new Maze.MazeSolver.SolveResult(new HashMap<>(), trace, 0, null);
+        return new Maze.MazeSolver.SolveResult(backwardSweep(dist, start, reached), trace, 0, reached);
+    }
+
+    private Map<Cell, Cell> backwardSweep(int[] dist, Cell start, Cell target) {
+        Map<Cell, Cell> parent = new HashMap<>();
+        parent.put(start, null);
+        Cell current = target;
+        while (current != start) {
+            int r = current.getRow(), c = current.getCol();
+            int want = dist[index(current)] - 1;
+            Cell prev = null;
+            // Cari tetangga di level sebelumnya yang punya jalan masuk ke sel ini
+            if (r > 0 && dist[index(grid[r - 1][c])] == want && testBit(openDown, r - 1, c)) prev = grid[r - 1][c];
+            else if (c < cols - 1 && dist[index(grid[r][c + 1])] == want && testBit(openLeft, r, c + 1)) prev = grid[r][c + 1];
+            else if (r < rows - 1 && dist[index(grid[r + 1][c])] == want && testBit(openUp, r + 1, c)) prev = grid[r + 1][c];
+            else if (c > 0 && dist[index(grid[r][c - 1])] == want && testBit(openRight, r, c - 1)) prev = grid[r][c - 1];
+            parent.put(current, prev);
+            current = prev;
+        }
+        return parent;
+    }
+
+    // ==================== WAVEFRONT ====================
+
+    private void begin(int startIndex) {
+        Arrays.fill(visited, 0L);
+        Arrays.fill(frontier, 0L);
+        Arrays.fill(next, 0L);
+        int r = startIndex / cols, c = startIndex % cols;
+        frontier[r * words + (c >>> 6)] = 1L << c;
+        visited[r * words + (c >>> 6)] = 1L << c;
+        activeRows[0] = r;
+        activeCount = 1;
+    }
+
+    // Satu level BFS: next = expand(frontier) & ~visited
+    private void step() {
+        stamp++;
+        nextCount = 0;
+        for (int a = 0; a < activeCount; a++) {
+            int r = activeRows[a];
+            int base = r * words;
+            for (int w = 0; w < words; w++) {
+                int i = base + w;
+                long f = frontier[i];
+                if (f == 0) continue;
+                frontier[i] = 0;
+
+                long east = f & openRight[i];
+                long west = f & openLeft[i];
+                long moved = (east << 1) | (west >>> 1);
+                if (w + 1 < words) next[i + 1] |= east >>> 63;
+                if (w > 0) next[i - 1] |= west << 63;
+                next[i] |= moved;
+                markRow(r);
+
+                long north = f & openUp[i];
+                if (north != 0) { next[i - words] |= north; markRow(r - 1); }
+                long south = f & openDown[i];
+                if (south != 0) { next[i + words] |= south; markRow(r + 1); }
+            }
+        }
+
+        activeCount = 0;
+        for (int n = 0; n < nextCount; n++) {
+            int r = nextRows[n];
+            int base = r * words;
+            long any = 0;
+            for (int w = 0; w < words; w++) {
+                int i = base + w;
+                long fresh = next[i] & ~visited[i];
+                next[i] = 0;
+                visited[i] |= fresh;
+                frontier[i] = fresh;
+                any |= fresh;
+            }
+            if (any != 0) activeRows[activeCount++] = r;
+        }
+    }
+
+    private void markRow(int r) {
+        if (rowStamp[r] != stamp) {
+            rowStamp[r] = stamp;
+            nextRows[nextCount++] = r;
+        }
+    }
+
+    private void recordLevel(int[] dist, int level, ExplorationTrace trace) {
+        for (int a = 0; a < activeCount; a++) {
+            int r = activeRows[a];
+            for (int w = 0; w < words; w++) {
+                long bits = frontier[r * words + w];
+                while (bits != 0) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    dist[r * cols + c] = level;
+                    if (trace != null) trace.append(r * cols + c);
+                }
+            }
+        }
+    }
+
+    private int countUnvisited(List<Cell> targets) {
+        int n = 0;
+        for (Cell t : targets) if (!testBit(visited, t.getRow(), t.getCol())) n++;
+        return n;
+    }
+
+    private Cell firstVisited(List<Cell> targets) {
+        for (Cell t : targets) if (testBit(visited, t.getRow(), t.getCol())) return t;
+        return null;
+    }
+
+    private boolean testBit(long[] mask, int r, int c) {
+        return (mask[r * words + (c >>> 6)] & (1L << c)) != 0;
+    }
+
+    private int index(Cell cell) { return cell.getRow() * cols + cell.getCol(); }
+}
@@ -0,0 +1,69 @@
+import java.util.*;
+
+/**
+ * Bitboard BFS dibandingkan dengan MazeSolver.solveBFS, plus cek update inkremental.
+ * Pemakaian: java BitboardBfsBenchmark [ukuran grid] [jumlah edit] [ulangan]
+ * contoh:    java BitboardBfsBenchmark 1000 2000 5
+ *
+ * Grid dibangun dari maze acak lalu sebagian dinding dibuka (ada loop). Waktu terbaik
+ * reachability dari (0, 0) ke semua destination dilaporkan untuk kedua cara. Setelah itu
+ * dinding diubah satu per satu lewat onCellChanged; mask hasil update inkremental harus sama
+ * persis dengan pack baru dari grid, begitu juga jarak hop-nya.
+ */
+public class BitboardBfsBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int edits = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        Maze.MazeGenerator generator = new Maze.MazeGenerator(size, size);
+        generator.generateMaze();
+        Cell[][] grid = generator.getGrid();
+        List<Cell> targets = generator.getDestinations();
+        Random rand = new Random(42);
+        for (int k = 0; k < size * size / 4; k++) {
+            int r = rand.nextInt(size - 1), c = rand.nextInt(size - 1);
+            grid[r][c].removeWallBetween(rand.nextBoolean() ? grid[r + 1][c] : grid[r][c + 1]);
+        }
+
+        BitboardBfs bitboard = new BitboardBfs(grid, size, size);
+        Maze.MazeSolver solver = new Maze.MazeSolver(grid, size, size);
+        System.out.println("grid " + size + "x" + size + ", " + targets.size() + " destinations");
+
+        long bestBitboard = Long.MAX_VALUE, bestBfs = Long.MAX_VALUE;
+        for (int i = 0; i < repeats; i++) {
+            long start = System.nanoTime();
+            boolean reachable = bitboard.allReachable(grid[0][0], targets);
+            bestBitboard = Math.min(bestBitboard, System.nanoTime() - start);
+
+            solver.reset();
+            start = System.nanoTime();
+            for (Cell t : targets) solver.solveBFS(grid[0][0], List.of(t));
+            bestBfs = Math.min(bestBfs, System.nanoTime() - start);
+            if (!reachable) throw new IllegalStateException("Bitboard BFS missed a reachable destination");
+        }
+        System.out.printf("bitboard %.1f ms, solveBFS %.1f ms%n", bestBitboard / 1e6, bestBfs / 1e6);
+
+        // Tiap edit membuka atau menutup satu dinding antar dua sel; hanya salah satu sel yang dilaporkan
+        for (int k = 0; k < edits; k++) {
+            int r = rand.nextInt(size - 1), c = rand.nextInt(size - 1);
+            Cell a = grid[r][c];
+            boolean down = rand.nextBoolean();
+            Cell b = down ? grid[r + 1][c] : grid[r][c + 1];
+            if (rand.nextBoolean()) {
+                a.removeWallBetween(b);
+            } else if (down) {
+                a.setBottomWall(true); b.setTopWall(true);
+            } else {
+                a.setRightWall(true); b.setLeftWall(true);
+            }
+            bitboard.onCellChanged(rand.nextBoolean() ? a : b);
+        }
+        BitboardBfs fresh = new BitboardBfs(grid, size, size);
+        if (!bitboard.samePacking(fresh)) throw new IllegalStateException("Incremental repack differs from a fresh pack");
+        if (!Arrays.equals(bitboard.hopDistances(grid[0][0]), fresh.hopDistances(grid[0][0]))) {
+            throw new IllegalStateException("Hop distances differ after " + edits + " edits");
+        }
+        System.out.println(edits + " edits: incremental repack matches a fresh pack");
+    }
+}
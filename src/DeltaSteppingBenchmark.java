@@ -0,0 +1,89 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Kurva speedup Delta-stepping terhadap jumlah thread.
+ * Pemakaian: java DeltaSteppingBenchmark [ukuran grid] [thread,thread,...] [ulangan] [jumlah edit]
+ * contoh:    java DeltaSteppingBenchmark 2000 1,2,4,8 5 2000
+ *
+ * Grid dibangun dari maze acak lalu sebagian dinding dibuka (ada loop). Setelah pemanasan,
+ * setiap jumlah thread menjalankan SSSP penuh dari (0, 0); waktu terbaik yang dilaporkan,
+ * dan jarak dicek sama persis dengan hasil jumlah thread pertama.
+ *
+ * Terakhir dinding dan terrain diubah acak lewat onCellChanged, lalu hasilnya dibandingkan
+ * dengan solver yang dibangun ulang dari grid: open[], penalty[], dan jarak harus sama.
+ */
+public class DeltaSteppingBenchmark {
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int[] threads = args.length > 1
+                ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray()
+                : new int[] {1, 2, 4, 8};
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int edits = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+
+        Maze.MazeGenerator generator = new Maze.MazeGenerator(size, size);
+        generator.generateMaze();
+        Cell[][] grid = generator.getGrid();
+        Random rand = new Random(42);
+        for (int k = 0; k < size * size / 4; k++) {
+            int r = rand.nextInt(size - 1), c = rand.nextInt(size - 1);
+            grid[r][c].removeWallBetween(rand.nextBoolean() ? grid[r + 1][c] : grid[r][c + 1]);
+        }
+
+        DeltaSteppingSolver solver = new DeltaSteppingSolver(grid, size, size);
+        System.out.println("grid " + size + "x" + size + ", delta " + solver.getDelta()
+                + ", cores " + Runtime.getRuntime().availableProcessors());
+        System.out.println("threads\tbest ms\tspeedup");
+
+        // Pemanasan JIT supaya baris pertama tidak ikut menanggung waktu kompilasi
+        for (int i = 0; i < repeats; i++) solver.distances(grid[0][0], ForkJoinPool.commonPool());
+
+        int[] reference = null;
+        double baseline = 0;
+        for (int t : threads) {
+            ForkJoinPool pool = new ForkJoinPool(t);
+            try {
+                long best = Long.MAX_VALUE;
+                for (int i = 0; i < repeats; i++) {
+                    long start = System.nanoTime();
+                    int[] dist = solver.distances(grid[0][0], pool);
+                    best = Math.min(best, System.nanoTime() - start);
+                    if (reference == null) reference = dist;
+                    else if (!Arrays.equals(reference, dist)) throw new IllegalStateException("Distances differ at " + t + " threads");
+                }
+                double ms = best / 1e6;
+                if (baseline == 0) baseline = ms;
+                System.out.printf("%d\t%.1f\t%.2fx%n", t, ms, baseline / ms);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Cell.TerrainType[] terrains = Cell.TerrainType.values();
+        for (int k = 0; k < edits; k++) {
+            int r = rand.nextInt(size - 1), c = rand.nextInt(size - 1);
+            Cell a = grid[r][c];
+            boolean down = rand.nextBoolean();
+            Cell b = down ? grid[r + 1][c] : grid[r][c + 1];
+            if (rand.nextBoolean()) {
+                a.removeWallBetween(b);
+            } else if (down) {
+                a.setBottomWall(true); b.setTopWall(true);
+            } else {
+                a.setRightWall(true); b.setLeftWall(true);
+            }
+            // Terrain hanya diubah di sel yang dilaporkan; dinding bersama boleh dilaporkan dari sisi mana pun
+            Cell changed = rand.nextBoolean() ? a : b;
+            changed.setTerrainType(terrains[rand.nextInt(terrains.length)]);
+            solver.onCellChanged(changed);
+        }
+        DeltaSteppingSolver fresh = new DeltaSteppingSolver(grid, size, size);
+        if (!solver.samePacking(fresh)) throw new IllegalStateException("Incremental update differs from a fresh solver");
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        if (!Arrays.equals(solver.distances(grid[0][0], pool), fresh.distances(grid[0][0], pool))) {
+            throw new IllegalStateException("Distances differ after " + edits + " edits");
+        }
+        System.out.println(edits + " edits: incremental update matches a fresh solver");
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shortest path paralel dengan Delta-stepping di atas ForkJoinPool.
+ * Sel dikelompokkan ke bucket selebar delta berdasarkan jarak sementara. Edge "ringan"
+ * (penalti <= delta) direlaksasi berulang di dalam bucket sampai bucket stabil, edge "berat"
+ * sekali setelahnya; kedua fase dijalankan paralel per potongan frontier.
+ *
+ * Jarak dan parent di-pack dalam satu long (dist << 32 | parent) sehingga atomic-min
+ * memperbarui keduanya sekaligus. Jarak yang dihasilkan sama persis dengan solveDijkstra.
+ */
+public class DeltaSteppingSolver {
+    private static final long UNREACHED = Long.MAX_VALUE;
+    private static final int SPLIT_THRESHOLD = 512;
+
+    // Bit arah di open[]
+    private static final int UP = 1, RIGHT = 2, DOWN = 4, LEFT = 8;
+
+    private final Cell[][] grid;
+    private final int rows, cols;
+    private final int delta;
+    private final int[] penalty;
+    private final byte[] open;
+
+    public DeltaSteppingSolver(Cell[][] grid, int rows, int cols) {
+        this(grid, rows, cols, defaultDelta());
+    }
+
+    public DeltaSteppingSolver(Cell[][] grid, int rows, int cols, int delta) {
+        this.grid = grid; this.rows = rows; this.cols = cols;
+        this.delta = Math.max(1, delta);
+        this.penalty = new int[rows * cols];
+        this.open = new byte[rows * cols];
+        for (int r = 0; r < rows; r++) for (int c = 0; c < cols; c++) packCell(r, c);
+    }
+
+    /**
+     * Lebar bucket dari rentang penalti terrain: setengah penalti terbesar, sehingga
+     * GRASS dan MUD jadi edge ringan dan WATER edge berat.
+     */
+    public static int defaultDelta() {
+        int max = 0;
+        for (Cell.TerrainType t : Cell.TerrainType.values()) max = Math.max(max, t.getPenalty());
+        return Math.max(1, max / 2);
+    }
+
+    public int getDelta() { return delta; }
+
+    /**
+     * Sinkronkan penalty[] dan open[] setelah sel berubah. Penalti hanya milik sel itu sendiri;
+     * dari tetangga cukup byte open-nya yang dihitung ulang, karena dinding bersama ikut tersimpan
+     * di sana.
+     */
+    public void onCellChanged(Cell cell) {
+        int r = cell.getRow(), c = cell.getCol();
+        packCell(r, c);
+        if (r > 0) open[(r - 1) * cols + c] = openMask(r - 1, c);
+        if (c < cols - 1) open[r * cols + c + 1] = openMask(r, c + 1);
+        if (r < rows - 1) open[(r + 1) * cols + c] = openMask(r + 1, c);
+        if (c > 0) open[r * cols + c - 1] = openMask(r, c - 1);
+    }
+
+    /** True bila penalty[] dan open[] sama persis dengan milik other (dipakai DeltaSteppingBenchmark). */
+    public boolean samePacking(DeltaSteppingSolver other) {
+        return Arrays.equals(open, other.open) && Arrays.equals(penalty, other.penalty);
+    }
+
+    private void packCell(int r, int c) {
+        open[r * cols + c] = openMask(r, c);
+        penalty[r * cols + c] = grid[r][c].getTerrainPenalty();
+    }
+
+    private byte openMask(int r, int c) {
+        Cell cell = grid[r][c];
+        int mask = 0;
+        if (!cell.hasTopWall() && r > 0) mask |= UP;
+        if (!cell.hasRightWall() && c < cols - 1) mask |= RIGHT;
+        if (!cell.hasBottomWall() && r < rows - 1) mask |= DOWN;
+        if (!cell.hasLeftWall() && c > 0) mask |= LEFT;
+        return (byte) mask;
+    }
+
+    // ==================== QUERIES ====================
+
+    /** Jarak dari start ke semua sel (index row * cols + col), Integer.MAX_VALUE bila tidak tercapai. */
+    public int[] distances(Cell start, ForkJoinPool pool) {
+        AtomicLongArray state = run(index(start), null, pool, null);
+        int[] dist = new int[rows * cols];
+        for (int v = 0; v < dist.length; v++) dist[v] = distOf(state.get(v));
+        return dist;
+    }
+
+    /** Sama seperti MazeSolver.solveDijkstra, tapi berhenti setelah bucket target terdekat selesai. */
+    public Maze.MazeSolver.SolveResult solve(Cell start, List<Cell> targets, ForkJoinPool pool) {
+        ExplorationTrace trace = new ExplorationTrace(rows, cols);
+        int[] targetIndexes = new int[targets.size()];
+        for (int i = 0; i < targetIndexes.length; i++) targetIndexes[i] = index(targets.get(i));
+        AtomicLongArray state = run(index(start), targetIndexes, pool, trace);
+
+        Cell reached = null;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < targetIndexes.length; i++) {
+            int d = distOf(state.get(targetIndexes[i]));
+            if (d < best) { best = d; reached = targets.get(i); }
+        }
+        if (reached == null) return new Maze.MazeSolver.SolveResult(new HashMap<>(), trace, 0, null);
+
+        Map<Cell, Cell> parent = new HashMap<>();
+        int v = index(reached);
+        while (true) {
+            long s = state.get(v);
+            int p = (int) s;
+            parent.put(cellOf(v), p < 0 ? null : cellOf(p));
+            if (p < 0) break;
+            v = p;
+        }
+        return new Maze.MazeSolver.SolveResult(parent, trace, best, reached);
+    }
+
+    // ==================== DELTA-STEPPING ====================
+
+    private AtomicLongArray run(int source, int[] targets, ForkJoinPool pool, ExplorationTrace trace) {
+        int n = rows * cols;
+        AtomicLongArray state = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) state.set(v, UNREACHED);
+        state.set(source, pack(0, -1));
+
+        // Bucket siklik: relaksasi dari bucket i selalu jatuh di bucket i .. i + maxPenalty / delta
+        int maxPenalty = 0;
+        for (int p : penalty) maxPenalty = Math.max(maxPenalty, p);
+        IntList[] buckets = new IntList[maxPenalty / delta + 2];
+        for (int b = 0; b < buckets.length; b++) buckets[b] = new IntList();
+        buckets[0].add(source);
+        int pending = 1;
+
+        int[] seen = new int[n];
+        int[] settled = new int[n];
+        int round = 0;
+
+        for (int i = 0; pending > 0; i++) {
+            IntList bucket = buckets[i % buckets.length];
+            if (bucket.size == 0) continue;
+            IntList removed = new IntList();
+
+            while (bucket.size > 0) {
+                round++;
+                IntList frontier = new IntList();
+                for (int k = 0; k < bucket.size; k++) {
+                    int v = bucket.data[k];
+                    // Entri basi: jarak sudah turun ke bucket lain, atau duplikat di ronde ini
+                    if (distOf(state.get(v)) / delta != i || seen[v] == round) continue;
+                    seen[v] = round;
+                    frontier.add(v);
+                    if (settled[v] != i + 1) { settled[v] = i + 1; removed.add(v); }
+                }
+                pending -= bucket.size;
+                bucket.size = 0;
+                IntList improved = relaxAll(frontier, state, true, pool);
+                pending += distribute(improved, state, buckets);
+            }
+
+            IntList improved = relaxAll(removed, state, false, pool);
+            pending += distribute(improved, state, buckets);
+
+            if (trace != null) for (int k = 0; k < removed.size; k++) trace.append(removed.data[k]);
+            if (targets != null && targetSettled(targets, state, (long) (i + 1) * delta)) break;
+        }
+        return state;
+    }
+
+    // Frontier kecil (umum di maze) langsung di thread pemanggil, tanpa hand-off ke pool
+    private IntList relaxAll(IntList vertices, AtomicLongArray state, boolean light, ForkJoinPool pool) {
+        RelaxTask task = new RelaxTask(vertices, 0, vertices.size, state, light);
+        return vertices.size <= SPLIT_THRESHOLD ? task.compute() : pool.invoke(task);
+    }
+
+    private int distribute(IntList improved, AtomicLongArray state, IntList[] buckets) {
+        for (int k = 0; k < improved.size; k++) {
+            int v = improved.data[k];
+            buckets[(distOf(state.get(v)) / delta) % buckets.length].add(v);
+        }
+        return improved.size;
+    }
+
+    // Bucket i selesai: semua jarak < (i + 1) * delta sudah final
+    private boolean targetSettled(int[] targets, AtomicLongArray state, long bound) {
+        for (int t : targets) if (distOf(state.get(t)) < bound) return true;
+        return false;
+    }
+
+    private class RelaxTask extends RecursiveTask<IntList> {
+        private static final long serialVersionUID = 1L;
+
+        private final IntList vertices;
+        private final int from, to;
+        private final AtomicLongArray state;
+        private final boolean light;
+
+        RelaxTask(IntList vertices, int from, int to, AtomicLongArray state, boolean light) {
+            this.vertices = vertices; this.from = from; this.to = to; this.state = state; this.light = light;
+        }
+
+        @Override
+        protected IntList compute() {
+            if (to - from > SPLIT_THRESHOLD) {
+                int mid = (from + to) >>> 1;
+                RelaxTask left = new RelaxTask(vertices, from, mid, state, light);
+                left.fork();
+                IntList right = new RelaxTask(vertices, mid, to, state, light).compute();
+                IntList result = left.join();
+                result.addAll(right);
+                return result;
+            }
+            IntList improved = new IntList();
+            for (int k = from; k < to; k++) {
+                int u = vertices.data[k];
+                int du = distOf(state.get(u));
+                int mask = open[u];
+                if ((mask & UP) != 0) relax(u, u - cols, du, improved);
+                if ((mask & RIGHT) != 0) relax(u, u + 1, du, improved);
+                if ((mask & DOWN) != 0) relax(u, u + cols, du, improved);
+                if ((mask & LEFT) != 0) relax(u, u - 1, du, improved);
+            }
+            return improved;
+        }
+
+        private void relax(int u, int v, int du, IntList improved) {
+            int w = penalty[v];
+            if ((w <= delta) != light) return;
+            int nd = du + w;
+            // Atomic-min pada jarak; parent ikut ter-update dalam CAS yang sama
+            long packed = pack(nd, u);
+            while (true) {
+                long cur = state.get(v);
+                if (distOf(cur) <= nd) return;
+                if (state.compareAndSet(v, cur, packed)) { improved.add(v); return; }
+            }
+        }
+    }
+
+    private static long pack(int dist, int parent) { return ((long) dist << 32) | (parent & 0xFFFFFFFFL); }
+    private static int distOf(long s) { return s == UNREACHED ? Integer.MAX_VALUE : (int) (s >>> 32); }
+
+    private int index(Cell cell) { return cell.getRow() * cols + cell.getCol(); }
+    private Cell cellOf(int v) { return grid[v / cols][v % cols]; }
+
+    static class IntList {
+        int[] data = new int[16];
+        int size;
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+        void addAll(IntList o) {
+            if (size + o.size > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, size + o.size));
+            System.arraycopy(o.data, 0, data, size, o.size);
+            size += o.size;
+        }
+    }
+}
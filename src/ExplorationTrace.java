@@ -0,0 +1,182 @@
+import java.io.*;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Urutan eksplorasi solver dalam bentuk ringkas.
+ * Setiap sel disimpan sebagai indeks (row * cols + col), di-encode sebagai selisih
+ * terhadap sel sebelumnya lalu ditulis sebagai varint ke dalam byte[] yang bisa tumbuh.
+ * Empat langkah tetangga (+-1, +-cols) punya kode 0..3; selisih lain ditulis zigzag + 4,
+ * jadi satu sel biasanya hanya 1-2 byte, dibanding referensi + slot ArrayList pada List<Cell>.
+ */
+public class ExplorationTrace {
+    private static final int MAGIC = 0x4D5A5452; // "MZTR"
+    private static final int VERSION = 1;
+    private static final int INITIAL_CAPACITY = 64;
+    static final int HEADER_BYTES = 21;
+    private static final int READ_CHUNK = 1 << 20;
+
+    private final int rows;
+    private final int cols;
+    private byte[] data;
+    private int length;
+    private int count;
+    private int lastIndex;
+
+    public ExplorationTrace(int rows, int cols) {
+        this(rows, cols, INITIAL_CAPACITY);
+    }
+
+    public ExplorationTrace(int rows, int cols, int initialCapacity) {
+        this.rows = rows;
+        this.cols = cols;
+        this.data = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    public int getRows() { return rows; }
+    public int getCols() { return cols; }
+    public int size() { return count; }
+    public int sizeInBytes() { return length; }
+    public boolean isEmpty() { return count == 0; }
+
+    public void append(Cell cell) {
+        append(cell.getRow() * cols + cell.getCol());
+    }
+
+    public void append(int cellIndex) {
+        writeVarint(encodeDelta(cellIndex - lastIndex));
+        lastIndex = cellIndex;
+        count++;
+    }
+
+    public void clear() {
+        length = 0;
+        count = 0;
+        lastIndex = 0;
+    }
+
+    private long encodeDelta(int delta) {
+        if (delta == 1) return 0;
+        if (delta == -1) return 1;
+        if (delta == cols) return 2;
+        if (delta == -cols) return 3;
+        return (((long) delta << 1) ^ (delta >> 31)) + 4;
+    }
+
+    private int decodeDelta(long code) {
+        if (code == 0) return 1;
+        if (code == 1) return -1;
+        if (code == 2) return cols;
+        if (code == 3) return -cols;
+        code -= 4;
+        return (int) ((code >>> 1) ^ -(code & 1));
+    }
+
+    private void writeVarint(long value) {
+        if (length + 5 > data.length) data = Arrays.copyOf(data, Math.max(data.length * 2, length + 5));
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    public Cursor cursor() { return new Cursor(); }
+
+    /** Pembaca maju-saja; beberapa cursor boleh berjalan bersamaan di atas trace yang sama. */
+    public class Cursor {
+        private int position;
+        private int consumed;
+        private int current;
+
+        private Cursor() {}
+
+        public boolean hasNext() { return consumed < count; }
+        public int consumed() { return consumed; }
+
+        public int next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += decodeDelta(value);
+            consumed++;
+            return current;
+        }
+
+        public Cell nextCell(Cell[][] grid) {
+            int index = next();
+            return grid[index / cols][index % cols];
+        }
+    }
+
+    // ==================== FILE EXPORT / IMPORT ====================
+
+    public void writeTo(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            writeTo(out);
+        }
+    }
+
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(rows);
+        out.writeInt(cols);
+        out.writeInt(count);
+        out.writeInt(length);
+        out.write(data, 0, length);
+    }
+
+    public static ExplorationTrace readFrom(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return readFrom(in, file.length() - HEADER_BYTES);
+        }
+    }
+
+    public static ExplorationTrace readFrom(DataInputStream in) throws IOException {
+        return readFrom(in, Long.MAX_VALUE);
+    }
+
+    /** remaining = sisa byte yang tersedia setelah header (Long.MAX_VALUE bila tidak diketahui). */
+    public static ExplorationTrace readFrom(DataInputStream in, long remaining) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not an exploration trace");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported trace version: " + version);
+        int rows = in.readInt();
+        int cols = in.readInt();
+        int count = in.readInt();
+        int length = in.readInt();
+        if (rows <= 0 || cols <= 0 || count < 0 || length < 0) throw new IOException("Corrupt trace header");
+        // Setiap sel butuh 1..5 byte; tolak header yang tidak konsisten sebelum alokasi apa pun
+        if (length < count || length > (long) count * 5) throw new IOException("Corrupt trace header");
+        if (length > remaining) throw new IOException("Truncated trace");
+
+        ExplorationTrace trace = new ExplorationTrace(rows, cols, Math.min(length, READ_CHUNK));
+        while (trace.length < length) {
+            int n = Math.min(READ_CHUNK, length - trace.length);
+            if (trace.length + n > trace.data.length) {
+                trace.data = Arrays.copyOf(trace.data, (int) Math.min(length, Math.max((long) trace.data.length * 2, trace.length + n)));
+            }
+            in.readFully(trace.data, trace.length, n);
+            trace.length += n;
+        }
+        trace.count = count;
+        if (length > 0 && (trace.data[length - 1] & 0x80) != 0) throw new IOException("Truncated trace");
+        Cursor cursor = trace.cursor();
+        int last = 0;
+        while (cursor.hasNext()) {
+            if (cursor.position >= length) throw new IOException("Truncated trace");
+            last = cursor.next();
+            if (last < 0 || last >= (long) rows * cols) throw new IOException("Cell index out of range: " + last);
+        }
+        if (cursor.position != length) throw new IOException("Trailing bytes in trace");
+        trace.lastIndex = last;
+        return trace;
+    }
+}
@@ -0,0 +1,396 @@
+import java.util.*;
+
+/**
+ * HPA* (hierarchical pathfinding) di atas grid maze.
+ * Grid dibagi menjadi cluster berukuran clusterSize x clusterSize. Setiap celah terbuka pada batas
+ * dua cluster menjadi sepasang entrance; biaya antar-entrance di dalam satu cluster dihitung
+ * sekali (Dijkstra lokal dengan penalti terrain). Query mencari di graf abstrak dulu, lalu
+ * hanya cluster yang dilewati rute yang di-refine menjadi jalur sel.
+ *
+ * Biaya mengikuti MazeSolver: pindah ke sebuah sel menambah penalti terrain sel tersebut.
+ */
+public class HierarchicalPathfinder {
+    public static final int DEFAULT_CLUSTER_SIZE = 32;
+    // Segmen celah sepanjang ini atau lebih dapat dua transisi (di kedua ujung), selain itu satu di tengah
+    private static final int MIN_SPLIT_SEGMENT = 6;
+
+    private final Cell[][] grid;
+    private final int rows, cols;
+    private final int clusterSize;
+    private final int clusterRows, clusterCols;
+
+    private final Map<Integer, Node> nodes = new HashMap<>();
+    private final List<Node>[] clusterNodes;
+
+    // Scratch untuk Dijkstra lokal (satu cluster)
+    private final int[] localDist;
+    private final int[] localParent;
+    private final boolean[] localDone;
+    private int searchStamp;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HierarchicalPathfinder(Cell[][] grid, int rows, int cols, int clusterSize) {
+        this.grid = grid; this.rows = rows; this.cols = cols;
+        this.clusterSize = clusterSize;
+        this.clusterRows = (rows + clusterSize - 1) / clusterSize;
+        this.clusterCols = (cols + clusterSize - 1) / clusterSize;
+        this.clusterNodes = new List[clusterRows * clusterCols];
+        for (int i = 0; i < clusterNodes.length; i++) clusterNodes[i] = new ArrayList<>();
+        this.localDist = new int[clusterSize * clusterSize];
+        this.localParent = new int[clusterSize * clusterSize];
+        this.localDone = new boolean[clusterSize * clusterSize];
+        build();
+    }
+
+    public HierarchicalPathfinder(Cell[][] grid, int rows, int cols) {
+        this(grid, rows, cols, DEFAULT_CLUSTER_SIZE);
+    }
+
+    public int getClusterSize() { return clusterSize; }
+    public int getAbstractNodeCount() { return nodes.size(); }
+
+    // ==================== BUILD ====================
+
+    public void build() {
+        nodes.clear();
+        for (List<Node> list : clusterNodes) list.clear();
+        for (int cr = 0; cr < clusterRows; cr++) {
+            for (int cc = 0; cc < clusterCols; cc++) {
+                if (cc < clusterCols - 1) buildVerticalBorder(cr, cc);
+                if (cr < clusterRows - 1) buildHorizontalBorder(cr, cc);
+            }
+        }
+        for (int k = 0; k < clusterNodes.length; k++) {
+            collectClusterNodes(k);
+            buildIntraLinks(k);
+        }
+    }
+
+    /**
+     * Panggil setelah dinding atau terrain sebuah sel berubah (untuk dinding cukup salah satu
+     * dari dua sel). Hanya cluster sel tersebut yang dibangun ulang, ditambah cluster tetangga
+     * bila sel berada di batas cluster (karena entrance di batas itu dipakai bersama).
+     */
+    public void onCellChanged(Cell cell) {
+        int r = cell.getRow(), c = cell.getCol();
+        int cr = r / clusterSize, cc = c / clusterSize;
+        Set<Integer> dirty = new LinkedHashSet<>();
+        dirty.add(clusterId(cr, cc));
+
+        if (c % clusterSize == clusterSize - 1 && cc < clusterCols - 1) {
+            clearBorder(cr, cc, false); buildVerticalBorder(cr, cc); dirty.add(clusterId(cr, cc + 1));
+        }
+        if (c % clusterSize == 0 && cc > 0) {
+            clearBorder(cr, cc - 1, false); buildVerticalBorder(cr, cc - 1); dirty.add(clusterId(cr, cc - 1));
+        }
+        if (r % clusterSize == clusterSize - 1 && cr < clusterRows - 1) {
+            clearBorder(cr, cc, true); buildHorizontalBorder(cr, cc); dirty.add(clusterId(cr + 1, cc));
+        }
+        if (r % clusterSize == 0 && cr > 0) {
+            clearBorder(cr - 1, cc, true); buildHorizontalBorder(cr - 1, cc); dirty.add(clusterId(cr - 1, cc));
+        }
+
+        for (int k : dirty) {
+            collectClusterNodes(k);
+            buildIntraLinks(k);
+        }
+    }
+
+    /*
+     * Celah berurutan di satu batas digabung menjadi satu segmen entrance, selama sel-sel
+     * di KEDUA sisi batas juga saling terhubung sepanjang segmen. Dengan begitu setiap celah
+     * yang dibuang tetap bisa dicapai dari transisi segmen tanpa keluar dari cluster-nya.
+     */
+
+    // Batas antara cluster (cr, cc) dan (cr, cc + 1)
+    private void buildVerticalBorder(int cr, int cc) {
+        int c = Math.min(cols, (cc + 1) * clusterSize) - 1;
+        int r1 = Math.min(rows, (cr + 1) * clusterSize);
+        int runStart = -1;
+        for (int r = cr * clusterSize; r < r1; r++) {
+            if (grid[r][c].hasRightWall()) continue;
+            if (runStart < 0) runStart = r;
+            boolean continues = r + 1 < r1 && !grid[r + 1][c].hasRightWall()
+                    && !grid[r][c].hasBottomWall() && !grid[r][c + 1].hasBottomWall();
+            if (continues) continue;
+            int mid = (runStart + r) >>> 1;
+            if (r - runStart + 1 < MIN_SPLIT_SEGMENT) {
+                connect(grid[mid][c], grid[mid][c + 1]);
+            } else {
+                connect(grid[runStart][c], grid[runStart][c + 1]);
+                connect(grid[r][c], grid[r][c + 1]);
+            }
+            runStart = -1;
+        }
+    }
+
+    // Batas antara cluster (cr, cc) dan (cr + 1, cc)
+    private void buildHorizontalBorder(int cr, int cc) {
+        int r = Math.min(rows, (cr + 1) * clusterSize) - 1;
+        int c1 = Math.min(cols, (cc + 1) * clusterSize);
+        int runStart = -1;
+        for (int c = cc * clusterSize; c < c1; c++) {
+            if (grid[r][c].hasBottomWall()) continue;
+            if (runStart < 0) runStart = c;
+            boolean continues = c + 1 < c1 && !grid[r][c + 1].hasBottomWall()
+                    && !grid[r][c].hasRightWall() && !grid[r + 1][c].hasRightWall();
+            if (continues) continue;
+            int mid = (runStart + c) >>> 1;
+            if (c - runStart + 1 < MIN_SPLIT_SEGMENT) {
+                connect(grid[r][mid], grid[r + 1][mid]);
+            } else {
+                connect(grid[r][runStart], grid[r + 1][runStart]);
+                connect(grid[r][c], grid[r + 1][c]);
+            }
+            runStart = -1;
+        }
+    }
+
+    private void clearBorder(int cr, int cc, boolean horizontal) {
+        int r0 = cr * clusterSize, c0 = cc * clusterSize;
+        int r1 = Math.min(rows, r0 + clusterSize), c1 = Math.min(cols, c0 + clusterSize);
+        if (horizontal) {
+            for (int c = c0; c < c1; c++) disconnect(r1 - 1, c, r1, c);
+        } else {
+            for (int r = r0; r < r1; r++) disconnect(r, c1 - 1, r, c1);
+        }
+    }
+
+    private void connect(Cell a, Cell b) {
+        Node na = getOrCreateNode(a), nb = getOrCreateNode(b);
+        na.inter.add(new Link(nb, b.getTerrainPenalty()));
+        nb.inter.add(new Link(na, a.getTerrainPenalty()));
+    }
+
+    private void disconnect(int ra, int ca, int rb, int cb) {
+        Node na = nodes.get(ra * cols + ca), nb = nodes.get(rb * cols + cb);
+        if (na == null || nb == null) return;
+        na.inter.removeIf(l -> l.to == nb);
+        nb.inter.removeIf(l -> l.to == na);
+    }
+
+    private Node getOrCreateNode(Cell cell) {
+        int index = cell.getRow() * cols + cell.getCol();
+        Node node = nodes.get(index);
+        if (node == null) {
+            node = new Node(cell, clusterOf(cell));
+            nodes.put(index, node);
+        }
+        return node;
+    }
+
+    // Entrance sebuah cluster = sel di tepinya yang masih punya link ke cluster lain
+    private void collectClusterNodes(int k) {
+        List<Node> list = clusterNodes[k];
+        list.clear();
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        int r1 = Math.min(rows, r0 + clusterSize), c1 = Math.min(cols, c0 + clusterSize);
+        for (int r = r0; r < r1; r++) {
+            for (int c = c0; c < c1; c++) {
+                if (r != r0 && r != r1 - 1 && c != c0 && c != c1 - 1) continue;
+                Node node = nodes.get(r * cols + c);
+                if (node == null) continue;
+                if (node.inter.isEmpty()) nodes.remove(r * cols + c);
+                else list.add(node);
+            }
+        }
+    }
+
+    private void buildIntraLinks(int k) {
+        List<Node> list = clusterNodes[k];
+        for (Node from : list) {
+            from.intra.clear();
+            localSearch(from.cell, k, -1, null);
+            for (Node to : list) {
+                if (to == from) continue;
+                int d = localDist[localIndex(to.cell, k)];
+                if (d != Integer.MAX_VALUE) from.intra.add(new Link(to, d));
+            }
+        }
+    }
+
+    // ==================== QUERY ====================
+
+    /**
+     * Cari jalur dari start ke target terdekat. parent berisi rantai jalur hasil refine,
+     * sehingga bisa langsung dipakai MazeSolver.reconstructPath; trace berisi sel yang
+     * diperluas oleh pencarian lokal (koneksi start/target dan refine).
+     */
+    public Maze.MazeSolver.SolveResult findPath(Cell start, List<Cell> targets) {
+        ExplorationTrace trace = new ExplorationTrace(rows, cols);
+        Node startNode = new Node(start, clusterOf(start));
+        Map<Node, List<Link>> toTargets = new HashMap<>();
+        Set<Node> targetNodes = new HashSet<>();
+
+        // Hubungkan start ke entrance cluster-nya (dan ke target di cluster yang sama)
+        int sk = startNode.cluster;
+        localSearch(start, sk, -1, trace);
+        for (Node e : clusterNodes[sk]) {
+            int d = localDist[localIndex(e.cell, sk)];
+            if (d != Integer.MAX_VALUE) startNode.intra.add(new Link(e, d));
+        }
+        for (Cell target : targets) {
+            Node tn = new Node(target, clusterOf(target));
+            targetNodes.add(tn);
+            if (tn.cluster != sk) continue;
+            int d = localDist[localIndex(target, sk)];
+            if (d != Integer.MAX_VALUE) startNode.intra.add(new Link(tn, d));
+        }
+
+        // Hubungkan setiap entrance di cluster target ke target tersebut
+        for (Node tn : targetNodes) {
+            Cell target = tn.cell;
+            int tk = tn.cluster;
+            localSearch(target, tk, -1, trace);
+            for (Node e : clusterNodes[tk]) {
+                int d = localDist[localIndex(e.cell, tk)];
+                if (d == Integer.MAX_VALUE) continue;
+                // Biaya jalur terbalik: buang penalti entrance, tambah penalti target
+                int cost = d - e.cell.getTerrainPenalty() + target.getTerrainPenalty();
+                toTargets.computeIfAbsent(e, x -> new ArrayList<>()).add(new Link(tn, cost));
+            }
+        }
+
+        List<Node> abstractPath = searchAbstract(startNode, targetNodes, toTargets);
+        if (abstractPath == null) return new Maze.MazeSolver.SolveResult(new HashMap<>(), trace, 0, null);
+
+        Map<Cell, Cell> parent = new HashMap<>();
+        parent.put(start, null);
+        int cost = 0;
+        for (int i = 1; i < abstractPath.size(); i++) {
+            Node a = abstractPath.get(i - 1), b = abstractPath.get(i);
+            if (a.cluster != b.cluster) {
+                parent.put(b.cell, a.cell);
+                cost += b.cell.getTerrainPenalty();
+                continue;
+            }
+            int goal = localIndex(b.cell, a.cluster);
+            localSearch(a.cell, a.cluster, goal, trace);
+            cost += localDist[goal];
+            List<Cell> segment = new ArrayList<>();
+            for (int li = goal; li != -1; li = localParent[li]) segment.add(localCell(li, a.cluster));
+            for (int j = segment.size() - 1; j > 0; j--) parent.put(segment.get(j - 1), segment.get(j));
+        }
+        Cell reached = abstractPath.get(abstractPath.size() - 1).cell;
+        return new Maze.MazeSolver.SolveResult(parent, trace, cost, reached);
+    }
+
+    // Dijkstra di graf abstrak. Heuristik Manhattan tidak admissible di sini (DEFAULT berpenalti 0),
+    // dan graf abstrak cukup kecil sehingga tanpa heuristik pun murah. State pencarian disimpan
+    // di Node dan ditandai dengan searchStamp, jadi tidak perlu Map per query.
+    private List<Node> searchAbstract(Node startNode, Set<Node> targetNodes, Map<Node, List<Link>> toTargets) {
+        int stamp = ++searchStamp;
+        PriorityQueue<Entry> pq = new PriorityQueue<>();
+        startNode.open(stamp, 0, null);
+        pq.offer(new Entry(startNode, 0));
+
+        while (!pq.isEmpty()) {
+            Node current = pq.poll().node;
+            if (current.closed) continue;
+            current.closed = true;
+            if (targetNodes.contains(current)) {
+                List<Node> path = new ArrayList<>();
+                for (Node n = current; n != null; n = n.from) path.add(n);
+                Collections.reverse(path);
+                return path;
+            }
+            relax(current, current.intra, pq, stamp);
+            relax(current, current.inter, pq, stamp);
+            List<Link> extra = toTargets.get(current);
+            if (extra != null) relax(current, extra, pq, stamp);
+        }
+        return null;
+    }
+
+    private void relax(Node current, List<Link> links, PriorityQueue<Entry> pq, int stamp) {
+        for (Link link : links) {
+            Node next = link.to;
+            int tentative = current.g + link.cost;
+            if (next.stamp != stamp) {
+                next.open(stamp, tentative, current);
+            } else if (!next.closed && tentative < next.g) {
+                next.g = tentative;
+                next.from = current;
+            } else {
+                continue;
+            }
+            pq.offer(new Entry(next, tentative));
+        }
+    }
+
+    // ==================== LOCAL SEARCH ====================
+
+    // Dijkstra dari source, dibatasi di dalam cluster k (berhenti di goal bila goal != -1).
+    // Hasil di localDist/localParent.
+    private void localSearch(Cell source, int k, int goal, ExplorationTrace trace) {
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        int r1 = Math.min(rows, r0 + clusterSize), c1 = Math.min(cols, c0 + clusterSize);
+        Arrays.fill(localDist, Integer.MAX_VALUE);
+        Arrays.fill(localParent, -1);
+        Arrays.fill(localDone, false);
+
+        PriorityQueue<Entry> pq = new PriorityQueue<>();
+        int s = localIndex(source, k);
+        localDist[s] = 0;
+        pq.offer(new Entry(s, 0));
+        while (!pq.isEmpty()) {
+            int li = pq.poll().local;
+            if (localDone[li]) continue;
+            localDone[li] = true;
+            Cell cell = localCell(li, k);
+            if (trace != null) trace.append(cell);
+            if (li == goal) return;
+            int r = cell.getRow(), c = cell.getCol();
+            if (!cell.hasTopWall() && r > r0) relaxLocal(li, grid[r - 1][c], k, pq);
+            if (!cell.hasRightWall() && c < c1 - 1) relaxLocal(li, grid[r][c + 1], k, pq);
+            if (!cell.hasBottomWall() && r < r1 - 1) relaxLocal(li, grid[r + 1][c], k, pq);
+            if (!cell.hasLeftWall() && c > c0) relaxLocal(li, grid[r][c - 1], k, pq);
+        }
+    }
+
+    private void relaxLocal(int from, Cell neighbor, int k, PriorityQueue<Entry> pq) {
+        int ni = localIndex(neighbor, k);
+        if (localDone[ni]) return;
+        int newDist = localDist[from] + neighbor.getTerrainPenalty();
+        if (newDist < localDist[ni]) {
+            localDist[ni] = newDist;
+            localParent[ni] = from;
+            pq.offer(new Entry(ni, newDist));
+        }
+    }
+
+    private int clusterId(int cr, int cc) { return cr * clusterCols + cc; }
+    private int clusterOf(Cell cell) { return clusterId(cell.getRow() / clusterSize, cell.getCol() / clusterSize); }
+
+    private int localIndex(Cell cell, int k) {
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        return (cell.getRow() - r0) * clusterSize + (cell.getCol() - c0);
+    }
+
+    private Cell localCell(int li, int k) {
+        int r0 = (k / clusterCols) * clusterSize, c0 = (k % clusterCols) * clusterSize;
+        return grid[r0 + li / clusterSize][c0 + li % clusterSize];
+    }
+
+    // ==================== INNER CLASSES ====================
+
+    static class Node {
+        final Cell cell;
+        final int cluster;
+        final List<Link> inter = new ArrayList<>();
+        final List<Link> intra = new ArrayList<>();
+        int stamp, g; boolean closed; Node from;
+        Node(Cell c, int k) { cell=c; cluster=k; }
+        void open(int s, int gScore, Node f) { stamp=s; g=gScore; closed=false; from=f; }
+    }
+    static class Link {
+        final Node to; final int cost;
+        Link(Node t, int c) { to=t; cost=c; }
+    }
+    static class Entry implements Comparable<Entry> {
+        Node node; int local; int priority;
+        Entry(Node n, int p) { node=n; priority=p; }
+        Entry(int l, int p) { local=l; priority=p; }
+        public int compareTo(Entry o) { return Integer.compare(priority, o.priority); }
+    }
+}
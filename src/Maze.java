@@ -3,37 +3,57 @@ import javax.swing.Timer;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public class Maze extends JFrame {
     private static final int ROWS = 30;
     private static final int COLS = 40;
+    private static final int PIPELINE_DEPTH = 3;
 
-    private MazeGenerator generator;
     private MazeSolver solver;
     private MazePanel panel;
     private MazeController controller;
+    private MazePipeline pipeline;
 
     private JLabel penaltyLabel;
     private JLabel algorithmLabel;
     private JSlider speedSlider;
+    private JButton newMazeButton;
 
     public Maze() {
         setTitle("Maze Project - Multi Finish Lines (3 Targets)");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
 
-        generator = new MazeGenerator(ROWS, COLS);
-        generator.generateMaze();
+        // Maze pertama juga dari pipeline; saat startup boleh menunggu producer
+        pipeline = new MazePipeline(ROWS, COLS, PIPELINE_DEPTH, true);
+        MazePipeline.PrebuiltMaze first;
+        try {
+            first = pipeline.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the first maze", e);
+        }
+        MazeGenerator generator = first.getGenerator();
 
         solver = new MazeSolver(generator.getGrid(), ROWS, COLS);
+        solver.load(generator.getGrid(), first.getBitboard(), first.getHierarchical());
 
         panel = new MazePanel(ROWS, COLS);
         panel.setGrid(generator.getGrid());
         panel.setDestinations(generator.getDestinations());
 
-        controller = new MazeController(generator, solver, panel, this);
+        controller = new MazeController(generator, solver, panel, this, pipeline);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) { pipeline.shutdown(); }
+        });
 
         setupUI();
         controller.setAnimationSpeed(speedSlider.getValue() / 100.0);
@@ -54,17 +74,18 @@ public class Maze extends JFrame {
         mazeContainer.add(panel, BorderLayout.CENTER);
         add(mazeContainer, BorderLayout.CENTER);
 
-        JPanel buttonPanel = new JPanel(new GridLayout(1, 5, 10, 10));
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 6, 10, 10));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(15, 0, 5, 0));
 
         buttonPanel.add(createStyledButton("BFS", e -> controller.solveBFSAnimated()));
         buttonPanel.add(createStyledButton("DFS", e -> controller.solveDFSAnimated()));
         buttonPanel.add(createStyledButton("Dijkstra", e -> controller.solveDijkstraAnimated()));
         buttonPanel.add(createStyledButton("A*", e -> controller.solveAStarAnimated()));
+        buttonPanel.add(createStyledButton("HPA*", e -> controller.solveHierarchicalAnimated()));
 
-        JButton resetButton = createStyledButton("New Maze", e -> controller.generateNewMaze());
-        resetButton.setBackground(new Color(240, 240, 255));
-        buttonPanel.add(resetButton);
+        newMazeButton = createStyledButton("New Maze", e -> controller.generateNewMaze());
+        newMazeButton.setBackground(new Color(240, 240, 255));
+        buttonPanel.add(newMazeButton);
 
         add(buttonPanel, BorderLayout.SOUTH);
 
@@ -103,6 +124,14 @@ public class Maze extends JFrame {
         statsPanel.add(algorithmLabel);
         statsPanel.add(penaltyLabel);
         infoPanel.add(statsPanel);
+        infoPanel.add(Box.createVerticalStrut(15));
+
+        JPanel tracePanel = new JPanel(new GridLayout(1, 2, 5, 5));
+        tracePanel.setBorder(BorderFactory.createTitledBorder("Trace"));
+        tracePanel.setMaximumSize(new Dimension(200, 60));
+        tracePanel.add(createStyledButton("Save", e -> saveTrace()));
+        tracePanel.add(createStyledButton("Load", e -> loadTrace()));
+        infoPanel.add(tracePanel);
 
         infoPanel.add(Box.createVerticalGlue());
         add(infoPanel, BorderLayout.EAST);
@@ -126,6 +155,41 @@ public class Maze extends JFrame {
         return label;
     }
 
+    private void saveTrace() {
+        if (!controller.hasTrace()) {
+            JOptionPane.showMessageDialog(this, "Run a solver first.", "Save Trace", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            controller.exportLastTrace(chooser.getSelectedFile());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Save Trace", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void loadTrace() {
+        JFileChooser chooser = new JFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        try {
+            controller.replayTrace(chooser.getSelectedFile());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage(), "Load Trace", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    public void setNewMazeEnabled(boolean enabled) {
+        newMazeButton.setEnabled(enabled);
+    }
+
+    // Producer pipeline mati: tidak ada maze baru lagi, jadi tombol tetap mati dan alasannya ditampilkan
+    public void showMazeProducerFailure(Throwable cause) {
+        newMazeButton.setEnabled(false);
+        newMazeButton.setToolTipText("Maze generation failed: " + cause);
+        JOptionPane.showMessageDialog(this, "Could not build a new maze:\n" + cause, "New Maze", JOptionPane.ERROR_MESSAGE);
+    }
+
     public void updatePenaltyDisplay(int penalty, String algorithm) {
         penaltyLabel.setText("Total Penalty: " + penalty);
         algorithmLabel.setText("Algorithm: " + algorithm);
@@ -145,12 +209,22 @@ public class Maze extends JFrame {
         private Maze mainFrame;
         private Timer currentTimer;
         private int currentDelay = 30;
+        private ExplorationTrace lastTrace;
+        private MazePipeline pipeline;
+        // Naik setiap grid yang tampil diganti; swap dari pipeline yang datang terlambat dibuang bila berbeda
+        private int mazeGeneration;
 
         public MazeController(MazeGenerator generator, MazeSolver solver, MazePanel panel, Maze mainFrame) {
+            this(generator, solver, panel, mainFrame, null);
+        }
+
+        public MazeController(MazeGenerator generator, MazeSolver solver, MazePanel panel, Maze mainFrame,
+                              MazePipeline pipeline) {
             this.generator = generator;
             this.solver = solver;
             this.panel = panel;
             this.mainFrame = mainFrame;
+            this.pipeline = pipeline;
         }
 
         public void setAnimationSpeed(double speedRatio) {
@@ -180,6 +254,13 @@ public class Maze extends JFrame {
             animateExploration(result.explorationOrder, "A*");
         }
 
+        public void solveHierarchicalAnimated() {
+            prepareSolve();
+            MazeSolver.SolveResult result = solver.solveHierarchical(getStart(), getTargets());
+            if(result.reachedTarget != null) solver.reconstructPath(result.parent, result.reachedTarget);
+            animateExploration(result.explorationOrder, "HPA*");
+        }
+
         public void solveBFSAnimated() {
             prepareSolve();
             MazeSolver.SolveResult result = solver.solveBFS(getStart(), getTargets());
@@ -196,24 +277,54 @@ public class Maze extends JFrame {
 
         private void prepareSolve() {
             stopCurrentAnimation();
-            panel.setExploredCells(new HashSet<>());
+            panel.setExploredCells(new BitSet());
             panel.setShortestPath(new ArrayList<>());
             panel.repaint();
             solver.reset();
         }
 
-        private void animateExploration(List<Cell> explorationOrder, String algorithmName) {
-            final int[] index = {0};
-            Set<Cell> currentExplored = new HashSet<>();
+        public ExplorationTrace getLastTrace() { return lastTrace; }
+
+        public boolean hasTrace() { return lastTrace != null; }
+
+        // Simpan trace terakhir bersama layout maze-nya
+        public void exportLastTrace(File file) throws IOException {
+            if (lastTrace == null) throw new IllegalStateException("No trace to export");
+            new TraceRecording(generator.getGrid(), generator.getDestinations(), lastTrace).writeTo(file);
+        }
+
+        // Putar ulang rekaman (mis. hasil run headless): maze dari file menggantikan maze yang tampil
+        public void replayTrace(File file) throws IOException {
+            TraceRecording recording = TraceRecording.readFrom(file);
+            if (recording.getRows() != generator.getRows() || recording.getCols() != generator.getCols()) {
+                throw new IOException("Recording is for a " + recording.getRows() + "x" + recording.getCols()
+                        + " maze, this window shows " + generator.getRows() + "x" + generator.getCols());
+            }
+            stopCurrentAnimation();
+            mazeGeneration++;
+            generator = new MazeGenerator(recording.getGrid(), recording.getDestinations());
+            solver.load(generator.getGrid(), null, null);
+            panel.setGrid(generator.getGrid());
+            panel.setDestinations(generator.getDestinations());
+            mainFrame.updatePenaltyDisplay(0, "-");
+            prepareSolve();
+            animateExploration(recording.getTrace(), "Replay");
+        }
+
+        private void animateExploration(ExplorationTrace explorationOrder, String algorithmName) {
+            lastTrace = explorationOrder;
+            ExplorationTrace.Cursor cursor = explorationOrder.cursor();
+            // Bit per indeks sel (row * cols + col); panel membaca bitset yang sama, tanpa salinan per frame
+            BitSet currentExplored = new BitSet(generator.getRows() * generator.getCols());
+            panel.setExploredCells(currentExplored);
             currentTimer = new Timer(currentDelay, null);
             currentTimer.addActionListener(new ActionListener() {
                 public void actionPerformed(ActionEvent e) {
                     currentTimer.setDelay(currentDelay);
                     int stepsPerFrame = (currentDelay < 5) ? 5 : 1;
                     for(int k=0; k<stepsPerFrame; k++) {
-                        if (index[0] < explorationOrder.size()) {
-                            currentExplored.add(explorationOrder.get(index[0]));
-                            index[0]++;
+                        if (cursor.hasNext()) {
+                            currentExplored.set(cursor.next());
                         } else {
                             currentTimer.stop();
                             panel.setShortestPath(solver.getShortestPath());
@@ -222,21 +333,60 @@ public class Maze extends JFrame {
                             return;
                         }
                     }
-                    panel.setExploredCells(new HashSet<>(currentExplored));
                     panel.repaint();
                 }
             });
             currentTimer.start();
         }
 
+        // Dengan pipeline: cukup tukar ke maze yang sudah jadi, tanpa membangun di EDT.
+        // Bila antrian kosong, tombol New Maze dimatikan sampai producer mengirim maze berikutnya;
+        // maze itu tidak dipasang bila sementara itu replayTrace sudah mengganti grid.
         public void generateNewMaze() {
             stopCurrentAnimation();
-            generator.reset();
-            generator.generateMaze();
-            solver.reset();
+            if (pipeline == null) {
+                generator.reset();
+                generator.generateMaze();
+                solver.reset();
+                solver.invalidateIndexes();
+                showNewMaze();
+                return;
+            }
+            MazePipeline.PrebuiltMaze next;
+            try {
+                next = pipeline.poll();
+            } catch (IllegalStateException e) {
+                mainFrame.showMazeProducerFailure(e.getCause());
+                return;
+            }
+            if (next != null) {
+                swapIn(next);
+                return;
+            }
+            mainFrame.setNewMazeEnabled(false);
+            int generation = mazeGeneration;
+            pipeline.takeAsync(
+                    maze -> SwingUtilities.invokeLater(() -> {
+                        mainFrame.setNewMazeEnabled(true);
+                        if (generation != mazeGeneration) return;
+                        stopCurrentAnimation();
+                        swapIn(maze);
+                    }),
+                    cause -> SwingUtilities.invokeLater(() -> mainFrame.showMazeProducerFailure(cause)));
+        }
+
+        private void swapIn(MazePipeline.PrebuiltMaze next) {
+            mazeGeneration++;
+            generator = next.getGenerator();
+            solver.load(generator.getGrid(), next.getBitboard(), next.getHierarchical());
+            showNewMaze();
+        }
+
+        private void showNewMaze() {
+            lastTrace = null;
             panel.setGrid(generator.getGrid());
             panel.setDestinations(generator.getDestinations());
-            panel.setExploredCells(new HashSet<>());
+            panel.setExploredCells(new BitSet());
             panel.setShortestPath(new ArrayList<>());
             panel.repaint();
             mainFrame.updatePenaltyDisplay(0, "-");
@@ -258,6 +408,14 @@ public class Maze extends JFrame {
             initializeGrid();
         }
 
+        // Maze yang sudah jadi (mis. dari TraceRecording)
+        public MazeGenerator(Cell[][] grid, List<Cell> destinations) {
+            this.rows = grid.length;
+            this.cols = grid[0].length;
+            this.grid = grid;
+            this.destinations = new ArrayList<>(destinations);
+        }
+
         private void initializeGrid() {
             Random rand = new Random();
             for (int i = 0; i < rows; i++) {
@@ -335,6 +493,9 @@ public class Maze extends JFrame {
         private Set<Cell> exploredCells = new HashSet<>();
         private List<Cell> shortestPath = new ArrayList<>();
         private int totalPenalty;
+        private HierarchicalPathfinder hierarchical;
+        private BitboardBfs bitboard;
+        private DeltaSteppingSolver deltaStepping;
 
         public MazeSolver(Cell[][] grid, int rows, int cols) {
             this.grid = grid; this.rows = rows; this.cols = cols;
@@ -346,7 +507,7 @@ public class Maze extends JFrame {
             PriorityQueue<CellDistance> pq = new PriorityQueue<>();
             Map<Cell, Cell> parent = new HashMap<>();
             Map<Cell, Integer> distance = new HashMap<>();
-            List<Cell> explOrder = new ArrayList<>();
+            ExplorationTrace explOrder = new ExplorationTrace(rows, cols);
 
             for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) distance.put(grid[i][j], Integer.MAX_VALUE);
             distance.put(start, 0); pq.offer(new CellDistance(start, 0)); parent.put(start, null);
@@ -355,7 +516,7 @@ public class Maze extends JFrame {
                 Cell current = pq.poll().cell;
                 if (visited[current.getRow()][current.getCol()]) continue;
                 visited[current.getRow()][current.getCol()] = true;
-                explOrder.add(current);
+                explOrder.append(current);
 
                 if (targets.contains(current)) {
                     return new SolveResult(parent, explOrder, distance.get(current), current);
@@ -375,12 +536,31 @@ public class Maze extends JFrame {
             return new SolveResult(parent, explOrder, 0, null);
         }
 
+        // Dijkstra paralel (Delta-stepping); jarak sama dengan solveDijkstra
+        public SolveResult solveDeltaStepping(Cell start, List<Cell> targets) {
+            return getDeltaStepping().solve(start, targets, ForkJoinPool.commonPool());
+        }
+
+        public SolveResult solveDeltaStepping(Cell start, List<Cell> targets, int parallelism) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                return getDeltaStepping().solve(start, targets, pool);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        private DeltaSteppingSolver getDeltaStepping() {
+            if (deltaStepping == null) deltaStepping = new DeltaSteppingSolver(grid, rows, cols);
+            return deltaStepping;
+        }
+
         public SolveResult solveAStar(Cell start, List<Cell> targets) {
             resetVisited();
             PriorityQueue<AStarNode> pq = new PriorityQueue<>();
             Map<Cell, Cell> parent = new HashMap<>();
             Map<Cell, Integer> gScore = new HashMap<>();
-            List<Cell> explOrder = new ArrayList<>();
+            ExplorationTrace explOrder = new ExplorationTrace(rows, cols);
 
             for(int i=0; i<rows; i++) for(int j=0; j<cols; j++) gScore.put(grid[i][j], Integer.MAX_VALUE);
             gScore.put(start, 0);
@@ -391,7 +571,7 @@ public class Maze extends JFrame {
                 Cell current = pq.poll().cell;
                 if (visited[current.getRow()][current.getCol()]) continue;
                 visited[current.getRow()][current.getCol()] = true;
-                explOrder.add(current);
+                explOrder.append(current);
 
                 if (targets.contains(current)) {
                     return new SolveResult(parent, explOrder, gScore.get(current), current);
@@ -411,16 +591,22 @@ public class Maze extends JFrame {
             return new SolveResult(parent, explOrder, 0, null);
         }
 
+        // HPA*: graf abstrak dibangun sekali per maze, lalu dipakai ulang untuk setiap query
+        public SolveResult solveHierarchical(Cell start, List<Cell> targets) {
+            if (hierarchical == null) hierarchical = new HierarchicalPathfinder(grid, rows, cols);
+            return hierarchical.findPath(start, targets);
+        }
+
         public SolveResult solveBFS(Cell start, List<Cell> targets) {
             resetVisited();
             Queue<Cell> queue = new LinkedList<>();
             Map<Cell, Cell> parent = new HashMap<>();
-            List<Cell> explOrder = new ArrayList<>();
+            ExplorationTrace explOrder = new ExplorationTrace(rows, cols);
             queue.offer(start); visited[start.getRow()][start.getCol()] = true; parent.put(start, null);
 
             while (!queue.isEmpty()) {
                 Cell current = queue.poll();
-                explOrder.add(current);
+                explOrder.append(current);
                 if (targets.contains(current)) return new SolveResult(parent, explOrder, 0, current);
 
                 for (Cell neighbor : getAccessibleNeighbors(current)) {
@@ -434,16 +620,34 @@ public class Maze extends JFrame {
             return new SolveResult(parent, explOrder, 0, null);
         }
 
+        // BFS bit-parallel; hasil sama dengan solveBFS dalam jumlah langkah, tapi jauh lebih cepat di grid besar
+        public SolveResult solveBitboardBFS(Cell start, List<Cell> targets) {
+            return getBitboard().solve(start, targets);
+        }
+
+        public boolean allReachable(Cell start, List<Cell> targets) {
+            return getBitboard().allReachable(start, targets);
+        }
+
+        public int[] hopDistances(Cell start) {
+            return getBitboard().hopDistances(start);
+        }
+
+        private BitboardBfs getBitboard() {
+            if (bitboard == null) bitboard = new BitboardBfs(grid, rows, cols);
+            return bitboard;
+        }
+
         public SolveResult solveDFS(Cell start, List<Cell> targets) {
             resetVisited();
             Stack<Cell> stack = new Stack<>();
             Map<Cell, Cell> parent = new HashMap<>();
-            List<Cell> explOrder = new ArrayList<>();
+            ExplorationTrace explOrder = new ExplorationTrace(rows, cols);
             stack.push(start); visited[start.getRow()][start.getCol()] = true; parent.put(start, null);
 
             while (!stack.isEmpty()) {
                 Cell current = stack.pop();
-                explOrder.add(current);
+                explOrder.append(current);
                 if (targets.contains(current)) return new SolveResult(parent, explOrder, 0, current);
 
                 for (Cell neighbor : getAccessibleNeighbors(current)) {
@@ -484,16 +688,30 @@ public class Maze extends JFrame {
 
         private void resetVisited() { for(int i=0; i<rows; i++) Arrays.fill(visited[i], false); }
         public void reset() { resetVisited(); exploredCells.clear(); shortestPath.clear(); totalPenalty=0; }
+        // Pakai ulang solver (dan array visited-nya) untuk grid lain berukuran sama
+        public void load(Cell[][] grid, BitboardBfs bitboard, HierarchicalPathfinder hierarchical) {
+            this.grid = grid;
+            invalidateIndexes();
+            this.bitboard = bitboard;
+            this.hierarchical = hierarchical;
+            reset();
+        }
+        public void invalidateIndexes() { hierarchical = null; bitboard = null; deltaStepping = null; }
+        public void onCellChanged(Cell cell) {
+            if (hierarchical != null) hierarchical.onCellChanged(cell);
+            if (bitboard != null) bitboard.onCellChanged(cell);
+            if (deltaStepping != null) deltaStepping.onCellChanged(cell);
+        }
         public List<Cell> getShortestPath() { return shortestPath; }
         public int getTotalPenalty() { return totalPenalty; }
 
         static class SolveResult {
             Map<Cell, Cell> parent;
-            List<Cell> explorationOrder;
+            ExplorationTrace explorationOrder;
             int algorithmPenalty;
             Cell reachedTarget;
 
-            SolveResult(Map<Cell, Cell> p, List<Cell> e, int ap, Cell rt) {
+            SolveResult(Map<Cell, Cell> p, ExplorationTrace e, int ap, Cell rt) {
                 parent=p; explorationOrder=e; algorithmPenalty=ap; reachedTarget=rt;
             }
         }
@@ -10,14 +10,14 @@ public class MazePanel extends JPanel {
     private Cell[][] grid;
     private int rows;
     private int cols;
-    private Set<Cell> exploredCells;
+    private BitSet exploredCells; // indeks row * cols + col
     private List<Cell> shortestPath;
     private List<Cell> destinations; // List untuk menampung 3 titik finish
 
     public MazePanel(int rows, int cols) {
         this.rows = rows;
         this.cols = cols;
-        this.exploredCells = new HashSet<>();
+        this.exploredCells = new BitSet();
         this.shortestPath = new ArrayList<>();
         this.destinations = new ArrayList<>();
 
@@ -28,7 +28,7 @@ public class MazePanel extends JPanel {
     }
 
     public void setGrid(Cell[][] grid) { this.grid = grid; }
-    public void setExploredCells(Set<Cell> exploredCells) { this.exploredCells = exploredCells; }
+    public void setExploredCells(BitSet exploredCells) { this.exploredCells = exploredCells; }
     public void setShortestPath(List<Cell> shortestPath) { this.shortestPath = shortestPath; }
     public void setDestinations(List<Cell> destinations) { this.destinations = destinations; }
 
@@ -53,7 +53,7 @@ public class MazePanel extends JPanel {
                 g2d.setColor(cell.getTerrainColor());
                 g2d.fillRect(x, y, CELL_SIZE, CELL_SIZE);
 
-                if (exploredCells.contains(cell) && !shortestPath.contains(cell)) {
+                if (exploredCells.get(i * cols + j) && !shortestPath.contains(cell)) {
                     g2d.setColor(new Color(65, 105, 225, 100));
                     g2d.fillRect(x, y, CELL_SIZE, CELL_SIZE);
                 }
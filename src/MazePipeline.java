@@ -0,0 +1,135 @@
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline producer/consumer untuk maze yang sudah jadi.
+ * Thread background terus membangun maze (grid, destinations, dan index solver bila diminta)
+ * ke dalam antrian berkapasitas depth. Antrian penuh = producer menunggu (backpressure);
+ * setiap pengambilan mengosongkan satu slot sehingga producer otomatis mengisi ulang.
+ * Maze tidak pernah dibangun di thread pemanggil.
+ *
+ * Bila build() melempar (termasuk Error seperti OutOfMemoryError), producer berhenti dan
+ * konsumen mendapat IllegalStateException dengan penyebab aslinya, bukan menunggu selamanya.
+ */
+public class MazePipeline {
+    public static final int DEFAULT_DEPTH = 2;
+
+    private final int rows, cols;
+    private final boolean precomputeIndexes;
+    private final BlockingQueue<PrebuiltMaze> ready;
+    private final Thread producer;
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+
+    // Penanda di antrian bahwa producer gagal; tetap di antrian supaya setiap pengambil melihatnya
+    private static final PrebuiltMaze FAILED = new PrebuiltMaze(null, null, null);
+
+    public MazePipeline(int rows, int cols, int depth, boolean precomputeIndexes) {
+        this.rows = rows; this.cols = cols;
+        this.precomputeIndexes = precomputeIndexes;
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, depth));
+        this.producer = new Thread(this::produce, "maze-pipeline");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    public MazePipeline(int rows, int cols) {
+        this(rows, cols, DEFAULT_DEPTH, true);
+    }
+
+    private void produce() {
+        try {
+            while (running) ready.put(build());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            try {
+                // Maze yang sudah jadi tetap diambil dulu; penanda masuk setelahnya
+                ready.put(FAILED);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Maze berikutnya tanpa menunggu, atau null bila antrian sedang kosong. */
+    public PrebuiltMaze poll() {
+        PrebuiltMaze maze = ready.poll();
+        return maze == null ? null : checked(maze);
+    }
+
+    /** Tunggu sampai maze berikutnya siap. Jangan dipanggil dari EDT kecuali saat startup. */
+    public PrebuiltMaze take() throws InterruptedException {
+        return checked(ready.take());
+    }
+
+    /**
+     * Tunggu maze berikutnya di thread terpisah lalu serahkan ke onReady, atau penyebabnya ke
+     * onFailure bila producer gagal. Keduanya dipanggil di thread itu, bukan di EDT; pemanggil
+     * Swing harus membungkusnya dengan invokeLater.
+     */
+    public void takeAsync(Consumer<PrebuiltMaze> onReady, Consumer<Throwable> onFailure) {
+        Thread waiter = new Thread(() -> {
+            PrebuiltMaze maze;
+            try {
+                maze = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (maze == FAILED) {
+                ready.offer(FAILED);
+                onFailure.accept(failure);
+            } else {
+                onReady.accept(maze);
+            }
+        }, "maze-pipeline-take");
+        waiter.setDaemon(true);
+        waiter.start();
+    }
+
+    public int available() {
+        int n = ready.size();
+        return ready.contains(FAILED) ? n - 1 : n;
+    }
+
+    /** Penyebab producer berhenti, atau null bila masih berjalan normal. */
+    public Throwable getFailure() { return failure; }
+
+    private PrebuiltMaze checked(PrebuiltMaze maze) {
+        if (maze != FAILED) return maze;
+        ready.offer(FAILED);
+        throw new IllegalStateException("Maze producer failed", failure);
+    }
+
+    public void shutdown() {
+        running = false;
+        producer.interrupt();
+    }
+
+    private PrebuiltMaze build() {
+        Maze.MazeGenerator generator = new Maze.MazeGenerator(rows, cols);
+        generator.generateMaze();
+        if (!precomputeIndexes) return new PrebuiltMaze(generator, null, null);
+        Cell[][] grid = generator.getGrid();
+        return new PrebuiltMaze(generator, new BitboardBfs(grid, rows, cols), new HierarchicalPathfinder(grid, rows, cols));
+    }
+
+    public static class PrebuiltMaze {
+        private final Maze.MazeGenerator generator;
+        private final BitboardBfs bitboard;
+        private final HierarchicalPathfinder hierarchical;
+
+        PrebuiltMaze(Maze.MazeGenerator generator, BitboardBfs bitboard, HierarchicalPathfinder hierarchical) {
+            this.generator = generator;
+            this.bitboard = bitboard;
+            this.hierarchical = hierarchical;
+        }
+
+        public Maze.MazeGenerator getGenerator() { return generator; }
+        public BitboardBfs getBitboard() { return bitboard; }
+        public HierarchicalPathfinder getHierarchical() { return hierarchical; }
+    }
+}
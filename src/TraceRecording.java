@@ -0,0 +1,98 @@
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File rekaman: layout maze (dinding, terrain, destinations) ditambah ExplorationTrace-nya,
+ * sehingga trace dari run headless bisa diputar ulang di atas maze yang sama persis.
+ * Satu byte per sel: bit 0-3 dinding atas/kanan/bawah/kiri, bit 4-5 ordinal TerrainType.
+ */
+public class TraceRecording {
+    private static final int MAGIC = 0x4D5A5243; // "MZRC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 17;
+
+    private final Cell[][] grid;
+    private final List<Cell> destinations;
+    private final ExplorationTrace trace;
+
+    public TraceRecording(Cell[][] grid, List<Cell> destinations, ExplorationTrace trace) {
+        this.grid = grid;
+        this.destinations = destinations;
+        this.trace = trace;
+    }
+
+    public Cell[][] getGrid() { return grid; }
+    public List<Cell> getDestinations() { return destinations; }
+    public ExplorationTrace getTrace() { return trace; }
+    public int getRows() { return grid.length; }
+    public int getCols() { return grid[0].length; }
+
+    public void writeTo(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            int rows = getRows(), cols = getCols();
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(rows);
+            out.writeInt(cols);
+            out.writeInt(destinations.size());
+            for (Cell d : destinations) out.writeInt(d.getRow() * cols + d.getCol());
+            for (int r = 0; r < rows; r++) for (int c = 0; c < cols; c++) out.writeByte(encode(grid[r][c]));
+            trace.writeTo(out);
+        }
+    }
+
+    public static TraceRecording readFrom(File file) throws IOException {
+        long remaining = file.length() - HEADER_BYTES;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a trace recording");
+            int version = in.readUnsignedByte();
+            if (version != VERSION) throw new IOException("Unsupported recording version: " + version);
+            int rows = in.readInt();
+            int cols = in.readInt();
+            int destCount = in.readInt();
+            if (rows <= 0 || cols <= 0 || destCount < 0) throw new IOException("Corrupt recording header");
+            long layoutBytes = (long) destCount * 4 + (long) rows * cols;
+            if (layoutBytes > remaining) throw new IOException("Truncated recording");
+
+            List<Integer> destIndexes = new ArrayList<>();
+            for (int i = 0; i < destCount; i++) {
+                int index = in.readInt();
+                if (index < 0 || index >= (long) rows * cols) throw new IOException("Destination out of range: " + index);
+                destIndexes.add(index);
+            }
+
+            Cell[][] grid = new Cell[rows][cols];
+            Cell.TerrainType[] terrains = Cell.TerrainType.values();
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int b = in.readUnsignedByte();
+                    int terrain = b >>> 4;
+                    if (terrain >= terrains.length) throw new IOException("Unknown terrain at " + r + ", " + c);
+                    Cell cell = new Cell(r, c);
+                    cell.setTopWall((b & 1) != 0);
+                    cell.setRightWall((b & 2) != 0);
+                    cell.setBottomWall((b & 4) != 0);
+                    cell.setLeftWall((b & 8) != 0);
+                    cell.setTerrainType(terrains[terrain]);
+                    grid[r][c] = cell;
+                }
+            }
+            List<Cell> destinations = new ArrayList<>();
+            for (int index : destIndexes) destinations.add(grid[index / cols][index % cols]);
+
+            ExplorationTrace trace = ExplorationTrace.readFrom(in, remaining - layoutBytes - ExplorationTrace.HEADER_BYTES);
+            if (trace.getRows() != rows || trace.getCols() != cols) throw new IOException("Trace does not match the maze");
+            return new TraceRecording(grid, destinations, trace);
+        }
+    }
+
+    private static int encode(Cell cell) {
+        int b = 0;
+        if (cell.hasTopWall()) b |= 1;
+        if (cell.hasRightWall()) b |= 2;
+        if (cell.hasBottomWall()) b |= 4;
+        if (cell.hasLeftWall()) b |= 8;
+        return b | (cell.getTerrainType().ordinal() << 4);
+    }
+}